@@ -25,10 +25,20 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Writer;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
 import java.text.NumberFormat;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.MonthDay;
 import java.time.format.TextStyle;
@@ -36,11 +46,14 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -63,37 +76,16 @@ import static tech.units.indriya.unit.Units.RADIAN;
 // TODO: generate movie
 public class ObservedDeathVisualizer extends JFrame {
 
-    private final String region;
-    private final List<DataPoint> data;
-    private final LocalDate minDate;
-    private final LocalDate maxDate;
-    private final Duration duration;
-    private final int maxCount;
-    private final Map<Integer, Color> yearColors = new HashMap<>();
-    private final Color incompleteDataColor = Color.BLACK;
+    private final Chart chart;
 
-    public ObservedDeathVisualizer(final Map<String, Integer> census, final String region, final List<DataPoint> data) {
+    public ObservedDeathVisualizer(final String region, final List<DataPoint> data) {
         super(region);
-        this.data = data;
-        this.region = region;
-        maxCount = maxCount(data);
-        minDate = minDate(data);
-        maxDate = maxDate(data);
-        duration = Duration.between(minDate.atStartOfDay(), maxDate.atStartOfDay());
+        chart = new Chart(region, data);
 
         final int size = 1000;
         setSize(size, size);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
-        yearColors.put(2017, Color.PINK);
-        yearColors.put(2018, Color.GRAY);
-        yearColors.put(2019, Color.BLUE);
-        yearColors.put(2020, Color.RED);
-        yearColors.put(2021, Color.GREEN);
-        yearColors.put(2022, Color.ORANGE);
-        yearColors.put(2023, Color.YELLOW);
-
-        dumpStatistics(census, region, data);
     }
 
     private synchronized static void dumpStatistics(final Map<String, Integer> census, final String region,
@@ -121,112 +113,11 @@ public class ObservedDeathVisualizer extends JFrame {
     }
 
     private static DataPoint lastGoodDataPoint(final List<DataPoint> l) {
+        final LocalDate incompleteDataDate = incompleteDataCutoff();
         return l.stream().filter((e) -> e.date.compareTo(incompleteDataDate) <= 0)
                 .max(Comparator.comparing(DataPoint::date)).orElseThrow();
     }
 
-    private double distanceAlongDuration(final LocalDate l) {
-        final double distance = Duration.between(minDate.atStartOfDay(), l.atStartOfDay()).toDays();
-        return distance / duration.toDays();
-    }
-
-    void drawMonths(final Graphics2D g2d, final float radius) {
-        final Font monthFont = g2d.getFont().deriveFont(15.0f);
-        g2d.setFont(monthFont);
-        g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(1.0f));
-        for (int i = 1; i <= 12; i++) {
-            final MonthDay d = MonthDay.of(i, 1);
-            final Quantity<Angle> theta = monthDayToAngle(d);
-            final PolarCoordinate c = new PolarCoordinate(radius, theta);
-            final Point2D p = c.toCartesian(Function.identity(), clockwiseRotator);
-            g2d.drawLine(0, 0, (int) p.getX(), (int) p.getY());
-            final AffineTransform current = g2d.getTransform();
-            final AffineTransform newXform = g2d.getTransform();
-            newXform.translate(p.getX(), p.getY());
-            newXform.rotate(-((i - 1.0f) * PI / 6.0f));
-            newXform.scale(1.0f, -1.0f);
-            g2d.setTransform(newXform);
-            final String monthName = d.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
-            final int stringWidth = g2d.getFontMetrics().stringWidth(monthName);
-            g2d.drawString(monthName, -((float) stringWidth / 2.0f), -5.0f);
-            g2d.setTransform(current);
-        }
-    }
-
-    void plot(final Graphics2D g2d) {
-        final float upperLimit = (g2d.getClipBounds().width / 2.0f) * 0.80f;
-        g2d.scale(1.0f, -1.0f);
-        drawMonths(g2d, upperLimit);
-
-        final float scaleConstant = (float) radiusTransformer.reverse().convert(upperLimit * 0.90).doubleValue();
-        final float scale = scale(scaleConstant / maxCount);
-        final AffineTransform t = AffineTransform.getScaleInstance(scale, scale);
-        g2d.transform(t);
-        final int radiusStep;
-        if (maxCount > 20000) {
-            radiusStep = 10000;
-        } else if (maxCount > 5000) {
-            radiusStep = 1000;
-        } else if (maxCount > 4000) {
-            radiusStep = 500;
-        } else if (maxCount > 1800) {
-            radiusStep = 400;
-        } else if (maxCount > 500) {
-            radiusStep = 200;
-        } else if (maxCount > 200) {
-            radiusStep = 50;
-        } else {
-            radiusStep = 20;
-        }
-
-        final int maxRing = maxCount / radiusStep + 1;
-
-        for (float i = 1; i <= maxRing; i++) {
-            final float radius = scale(i * radiusStep);
-            final float x = -radius;
-            final float y = x;
-            final float width = 2.0f * radius;
-            final float height = width;
-            final float strokeWidth = 1.0f / scale;
-            g2d.setStroke(new BasicStroke(strokeWidth));
-            g2d.draw(new Arc2D.Double(x, y, width, height, 0, 360, Arc2D.CHORD));
-            final float count = radiusStep * i;
-            final AffineTransform current = g2d.getTransform();
-            final AffineTransform newXform = g2d.getTransform();
-            newXform.rotate(-(i * PI / 6.0f - 7.0f * PI / 12.0f));
-            newXform.scale(1.0f, -1.0f);
-            newXform.translate(radius, 0.0f);
-            newXform.rotate(PI / 2.0f);
-            newXform.scale(1.0f / scale, 1.0f / scale);
-            g2d.setTransform(newXform);
-            final String countFormatted = NumberFormat.getInstance().format(count);
-            final int stringWidth = g2d.getFontMetrics().stringWidth(countFormatted);
-            g2d.drawString(countFormatted, -(stringWidth / 2.0f), -5.0f);
-            g2d.setTransform(current);
-        }
-
-        plotData(g2d, scale);
-    }
-
-    private void drawKey(final Graphics2D g2d) {
-        final int height = 25;
-        g2d.setStroke(new BasicStroke(5));
-        for (int year = minDate.getYear(); year <= maxDate.getYear(); year++) {
-            final int y = (year - minDate.getYear()) * height;
-            final LocalDate firstDayOfYear = LocalDate.of(year, 1, 1);
-            final LocalDate firstColorDate = firstDayOfYear.compareTo(minDate) < 0 ? minDate : firstDayOfYear;
-            g2d.setColor(getColor(firstColorDate));
-            g2d.drawString(Integer.toString(year), 0, y);
-        }
-
-        if (maxDate.compareTo(incompleteDataDate) >= 0) {
-            g2d.setStroke(getStroke(maxDate, 5));
-            g2d.setColor(getColor(LocalDate.now()));
-            g2d.drawString("incomplete data", 0, (maxDate.getYear() - minDate.getYear() + 1) * height);
-        }
-    }
-
     private static LocalDate minDate(final List<DataPoint> points) {
         return points.stream().map((p) -> p.date).min(Comparator.naturalOrder()).orElseThrow();
     }
@@ -239,42 +130,9 @@ public class ObservedDeathVisualizer extends JFrame {
         return points.stream().mapToInt((p) -> p.count).max().orElseThrow();
     }
 
-    private Stroke getStroke(final LocalDate date, final float width) {
-        if (date.compareTo(incompleteDataDate) >= 0) {
-            return new BasicStroke(width, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{9},
-                    0);
-        } else {
-            return new BasicStroke(width);
-        }
-    }
-
-    private static final LocalDate incompleteDataDate = LocalDate.now().minusDays(6 * 7);
-
-    private Color getColor(final LocalDate date) {
-        final float alpha = date.compareTo(incompleteDataDate) >= 0 ? 0.3f : 1;
-        if (date.compareTo(incompleteDataDate) >= 0) {
-            return incompleteDataColor;
-        }
-
-        final Color base = yearColors.get(date.getYear());
-        return ColorUtilities.setAlpha(base, alpha);
-    }
-
-    private void plotData(final Graphics2D g2d, final float scale) {
-        final int numPoints = data.size();
-        for (int i = 1; i < numPoints; i++) {
-            final GeneralPath polyline = new GeneralPath(GeneralPath.WIND_EVEN_ODD, 2);
-            final DataPoint startDataPoint = data.get(i - 1);
-            final Point2D.Double start = toPolar(startDataPoint).toCartesian(radiusTransformer, clockwiseRotator);
-            polyline.moveTo(start.x, start.y);
-            final DataPoint dataPoint = data.get(i);
-            final Point2D.Double p = toPolar(dataPoint).toCartesian(radiusTransformer, clockwiseRotator);
-            polyline.lineTo(p.x, p.y);
-            g2d.setColor(getColor(dataPoint.date));
-            final float strokeWidth = 4 / scale;
-            g2d.setStroke(getStroke(dataPoint.date, strokeWidth));
-            g2d.draw(polyline);
-        }
+    // Computed per use rather than once per JVM so that a long-running watch process does not go stale.
+    private static LocalDate incompleteDataCutoff() {
+        return LocalDate.now().minusDays(6 * 7);
     }
 
     private static PolarCoordinate toPolar(final DataPoint p) {
@@ -319,31 +177,207 @@ public class ObservedDeathVisualizer extends JFrame {
 
     public void paint(final Graphics g) {
         super.paint(g);
-        final Graphics2D g2d = (Graphics2D) g;
-        g2d.setBackground(Color.WHITE);
-        g2d.setColor(Color.BLACK);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.drawString(String.format("Observed Deaths, %s, All Causes, By Week, ", region) + minDate + " - " + maxDate,
-                50, 50);
-        g2d.drawString("data retrieved from cdc.gov on " + LocalDate.now(), 50, 950);
-        g2d.drawString("learn more at https://mcculley.github.io/VisualizingObservedDeaths/", 50, 975);
-        final int x = 700;
-        int y = 950;
-        final int lineSize = 12;
-        g2d.drawString("Feedback and suggestions for improvement:", x, y);
-        y += lineSize;
-        g2d.drawString("https://twitter.com/mcculley", x, y);
-        y += lineSize;
-        g2d.drawString("https://linkedin.com/in/mcculley", x, y);
-        y += lineSize;
-        g2d.drawString("mcculley@stackframe.com", x, y);
-        y += lineSize;
-        final AffineTransform c = g2d.getTransform();
-        g2d.translate(50, 100);
-        drawKey(g2d);
-        g2d.setTransform(c);
-        g.translate(getSize().width / 2, getSize().height / 2);
-        plot(g2d);
+        chart.paint((Graphics2D) g, getSize());
+    }
+
+    /**
+     * The graph for a single region. This is kept separate from the frame so that it can be rendered into an image on a
+     * headless host.
+     */
+    static class Chart {
+
+        private final String region;
+        private final List<DataPoint> data;
+        private final LocalDate minDate;
+        private final LocalDate maxDate;
+        private final Duration duration;
+        private final int maxCount;
+        private final Map<Integer, Color> yearColors = new HashMap<>();
+        private final Color incompleteDataColor = Color.BLACK;
+        private final LocalDate incompleteDataDate = incompleteDataCutoff();
+
+        Chart(final String region, final List<DataPoint> data) {
+            this.data = data;
+            this.region = region;
+            maxCount = maxCount(data);
+            minDate = minDate(data);
+            maxDate = maxDate(data);
+            duration = Duration.between(minDate.atStartOfDay(), maxDate.atStartOfDay());
+            yearColors.put(2017, Color.PINK);
+            yearColors.put(2018, Color.GRAY);
+            yearColors.put(2019, Color.BLUE);
+            yearColors.put(2020, Color.RED);
+            yearColors.put(2021, Color.GREEN);
+            yearColors.put(2022, Color.ORANGE);
+            yearColors.put(2023, Color.YELLOW);
+        }
+
+        private double distanceAlongDuration(final LocalDate l) {
+            final double distance = Duration.between(minDate.atStartOfDay(), l.atStartOfDay()).toDays();
+            return distance / duration.toDays();
+        }
+
+        void drawMonths(final Graphics2D g2d, final float radius) {
+            final Font monthFont = g2d.getFont().deriveFont(15.0f);
+            g2d.setFont(monthFont);
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(new BasicStroke(1.0f));
+            for (int i = 1; i <= 12; i++) {
+                final MonthDay d = MonthDay.of(i, 1);
+                final Quantity<Angle> theta = monthDayToAngle(d);
+                final PolarCoordinate c = new PolarCoordinate(radius, theta);
+                final Point2D p = c.toCartesian(Function.identity(), clockwiseRotator);
+                g2d.drawLine(0, 0, (int) p.getX(), (int) p.getY());
+                final AffineTransform current = g2d.getTransform();
+                final AffineTransform newXform = g2d.getTransform();
+                newXform.translate(p.getX(), p.getY());
+                newXform.rotate(-((i - 1.0f) * PI / 6.0f));
+                newXform.scale(1.0f, -1.0f);
+                g2d.setTransform(newXform);
+                final String monthName = d.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+                final int stringWidth = g2d.getFontMetrics().stringWidth(monthName);
+                g2d.drawString(monthName, -((float) stringWidth / 2.0f), -5.0f);
+                g2d.setTransform(current);
+            }
+        }
+
+        void plot(final Graphics2D g2d) {
+            final float upperLimit = (g2d.getClipBounds().width / 2.0f) * 0.80f;
+            g2d.scale(1.0f, -1.0f);
+            drawMonths(g2d, upperLimit);
+
+            final float scaleConstant = (float) radiusTransformer.reverse().convert(upperLimit * 0.90).doubleValue();
+            final float scale = scale(scaleConstant / maxCount);
+            final AffineTransform t = AffineTransform.getScaleInstance(scale, scale);
+            g2d.transform(t);
+            final int radiusStep;
+            if (maxCount > 20000) {
+                radiusStep = 10000;
+            } else if (maxCount > 5000) {
+                radiusStep = 1000;
+            } else if (maxCount > 4000) {
+                radiusStep = 500;
+            } else if (maxCount > 1800) {
+                radiusStep = 400;
+            } else if (maxCount > 500) {
+                radiusStep = 200;
+            } else if (maxCount > 200) {
+                radiusStep = 50;
+            } else {
+                radiusStep = 20;
+            }
+
+            final int maxRing = maxCount / radiusStep + 1;
+
+            for (float i = 1; i <= maxRing; i++) {
+                final float radius = scale(i * radiusStep);
+                final float x = -radius;
+                final float y = x;
+                final float width = 2.0f * radius;
+                final float height = width;
+                final float strokeWidth = 1.0f / scale;
+                g2d.setStroke(new BasicStroke(strokeWidth));
+                g2d.draw(new Arc2D.Double(x, y, width, height, 0, 360, Arc2D.CHORD));
+                final float count = radiusStep * i;
+                final AffineTransform current = g2d.getTransform();
+                final AffineTransform newXform = g2d.getTransform();
+                newXform.rotate(-(i * PI / 6.0f - 7.0f * PI / 12.0f));
+                newXform.scale(1.0f, -1.0f);
+                newXform.translate(radius, 0.0f);
+                newXform.rotate(PI / 2.0f);
+                newXform.scale(1.0f / scale, 1.0f / scale);
+                g2d.setTransform(newXform);
+                final String countFormatted = NumberFormat.getInstance().format(count);
+                final int stringWidth = g2d.getFontMetrics().stringWidth(countFormatted);
+                g2d.drawString(countFormatted, -(stringWidth / 2.0f), -5.0f);
+                g2d.setTransform(current);
+            }
+
+            plotData(g2d, scale);
+        }
+
+        private void drawKey(final Graphics2D g2d) {
+            final int height = 25;
+            g2d.setStroke(new BasicStroke(5));
+            for (int year = minDate.getYear(); year <= maxDate.getYear(); year++) {
+                final int y = (year - minDate.getYear()) * height;
+                final LocalDate firstDayOfYear = LocalDate.of(year, 1, 1);
+                final LocalDate firstColorDate = firstDayOfYear.compareTo(minDate) < 0 ? minDate : firstDayOfYear;
+                g2d.setColor(getColor(firstColorDate));
+                g2d.drawString(Integer.toString(year), 0, y);
+            }
+
+            if (maxDate.compareTo(incompleteDataDate) >= 0) {
+                g2d.setStroke(getStroke(maxDate, 5));
+                g2d.setColor(getColor(LocalDate.now()));
+                g2d.drawString("incomplete data", 0, (maxDate.getYear() - minDate.getYear() + 1) * height);
+            }
+        }
+
+        private Stroke getStroke(final LocalDate date, final float width) {
+            if (date.compareTo(incompleteDataDate) >= 0) {
+                return new BasicStroke(width, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{9},
+                        0);
+            } else {
+                return new BasicStroke(width);
+            }
+        }
+
+        private Color getColor(final LocalDate date) {
+            final float alpha = date.compareTo(incompleteDataDate) >= 0 ? 0.3f : 1;
+            if (date.compareTo(incompleteDataDate) >= 0) {
+                return incompleteDataColor;
+            }
+
+            final Color base = yearColors.get(date.getYear());
+            return ColorUtilities.setAlpha(base, alpha);
+        }
+
+        private void plotData(final Graphics2D g2d, final float scale) {
+            final int numPoints = data.size();
+            for (int i = 1; i < numPoints; i++) {
+                final GeneralPath polyline = new GeneralPath(GeneralPath.WIND_EVEN_ODD, 2);
+                final DataPoint startDataPoint = data.get(i - 1);
+                final Point2D.Double start = toPolar(startDataPoint).toCartesian(radiusTransformer, clockwiseRotator);
+                polyline.moveTo(start.x, start.y);
+                final DataPoint dataPoint = data.get(i);
+                final Point2D.Double p = toPolar(dataPoint).toCartesian(radiusTransformer, clockwiseRotator);
+                polyline.lineTo(p.x, p.y);
+                g2d.setColor(getColor(dataPoint.date));
+                final float strokeWidth = 4 / scale;
+                g2d.setStroke(getStroke(dataPoint.date, strokeWidth));
+                g2d.draw(polyline);
+            }
+        }
+
+        void paint(final Graphics2D g2d, final Dimension size) {
+            g2d.setBackground(Color.WHITE);
+            g2d.setColor(Color.BLACK);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.drawString(
+                    String.format("Observed Deaths, %s, All Causes, By Week, ", region) + minDate + " - " + maxDate,
+                    50, 50);
+            g2d.drawString("data retrieved from cdc.gov on " + LocalDate.now(), 50, 950);
+            g2d.drawString("learn more at https://mcculley.github.io/VisualizingObservedDeaths/", 50, 975);
+            final int x = 700;
+            int y = 950;
+            final int lineSize = 12;
+            g2d.drawString("Feedback and suggestions for improvement:", x, y);
+            y += lineSize;
+            g2d.drawString("https://twitter.com/mcculley", x, y);
+            y += lineSize;
+            g2d.drawString("https://linkedin.com/in/mcculley", x, y);
+            y += lineSize;
+            g2d.drawString("mcculley@stackframe.com", x, y);
+            y += lineSize;
+            final AffineTransform c = g2d.getTransform();
+            g2d.translate(50, 100);
+            drawKey(g2d);
+            g2d.setTransform(c);
+            g2d.translate(size.width / 2, size.height / 2);
+            plot(g2d);
+        }
+
     }
 
     public static record DataPoint(LocalDate date, int count, int averageExpectedCount, int excessEstimate) {
@@ -416,7 +450,7 @@ public class ObservedDeathVisualizer extends JFrame {
         return merged;
     }
 
-    private static void dumpPerCapitaStatistics(final Map<String, Integer> census,
+    private static void dumpPerCapitaStatistics(final File outputDirectory, final Map<String, Integer> census,
                                                 final Map<String, List<DataPoint>> regionData) throws IOException {
         final Map<String, List<DataPoint>> merged = mergeNYC(regionData);
         final LocalDate latestGoodDataDate = merged.values().stream().map(ObservedDeathVisualizer::lastGoodDataPoint)
@@ -448,8 +482,8 @@ public class ObservedDeathVisualizer extends JFrame {
                     NumberFormat.getInstance().format(census.get(e.getKey())));
         }
 
-        writeCSV(census, merged);
-        writeCSVTriples(census, merged);
+        writeCSV(outputDirectory, census, merged);
+        writeCSVTriples(outputDirectory, census, merged);
     }
 
     private static Map<Integer, Integer> byYear(final List<DataPoint> points) {
@@ -478,8 +512,8 @@ public class ObservedDeathVisualizer extends JFrame {
                         .mapToInt((i) -> i.excessEstimate).sum()));
     }
 
-    private static void writeCSV(final Map<String, Integer> census, final Map<String, List<DataPoint>> data)
-            throws IOException {
+    private static void writeCSV(final File outputDirectory, final Map<String, Integer> census,
+                                 final Map<String, List<DataPoint>> data) throws IOException {
         final int unit = 100000;
         final Set<LocalDate> uniqueDates =
                 data.values().stream().flatMap(List::stream).map((e) -> e.date).collect(Collectors.toSet());
@@ -491,7 +525,7 @@ public class ObservedDeathVisualizer extends JFrame {
 
         final List<LocalDate> sortedDates = filteredDates.stream().sorted().toList();
 
-        final File outFile = new File("DeathsPer" + unit + ".csv");
+        final File outFile = new File(outputDirectory, "DeathsPer" + unit + ".csv");
         try (final Writer w = new FileWriter(outFile)) {
             w.write("Week,");
             w.write(String.join(",", data.keySet()));
@@ -522,12 +556,12 @@ public class ObservedDeathVisualizer extends JFrame {
         }
     }
 
-    private static void writeCSVTriples(final Map<String, Integer> census, final Map<String, List<DataPoint>> data)
-            throws IOException {
+    private static void writeCSVTriples(final File outputDirectory, final Map<String, Integer> census,
+                                        final Map<String, List<DataPoint>> data) throws IOException {
         final int unit = 100000;
         final LocalDate start = LocalDate.parse("2020-01-01");
 
-        final File outFile = new File("DeathsPer" + unit + "-triples.csv");
+        final File outFile = new File(outputDirectory, "DeathsPer" + unit + "-triples.csv");
         try (final Writer w = new FileWriter(outFile)) {
             w.write("Region,Week,Ratio\n");
 
@@ -551,8 +585,9 @@ public class ObservedDeathVisualizer extends JFrame {
         }
     }
 
-    private static void dumpExcessDeaths(final Map<String, List<DataPoint>> regionData) throws IOException {
-        final File outFile = new File("ExcessDeaths.csv");
+    private static void dumpExcessDeaths(final File outputDirectory, final Map<String, List<DataPoint>> regionData)
+            throws IOException {
+        final File outFile = new File(outputDirectory, "ExcessDeaths.csv");
         try (final Writer w = new FileWriter(outFile)) {
             w.write("Region,Count\n");
 
@@ -571,11 +606,12 @@ public class ObservedDeathVisualizer extends JFrame {
         }
     }
 
-    private static void dumpExcessDeathsPerCapitaCumulative(final Map<String, Integer> census,
+    private static void dumpExcessDeathsPerCapitaCumulative(final File outputDirectory,
+                                                            final Map<String, Integer> census,
                                                             final Map<String, List<DataPoint>> regionData)
             throws IOException {
         final int unit = 100000;
-        final File outFile = new File("ExcessDeathsCumulativePer" + unit + ".csv");
+        final File outFile = new File(outputDirectory, "ExcessDeathsCumulativePer" + unit + ".csv");
         try (final Writer w = new FileWriter(outFile)) {
             w.write("Region,Rate\n");
 
@@ -602,25 +638,34 @@ public class ObservedDeathVisualizer extends JFrame {
         byYear.forEach((k, v) -> System.out.println(k + ": " + v));
     }
 
-    public static void main(final String[] args) throws IOException, CsvException {
-        final Map<String, Integer> census = parseCensus();
-        System.err.println("census=" + census);
+    /**
+     * Parse a CDC extract and render a graph and statistics for each region in it.
+     *
+     * @param outputDirectory where to write the PNG and CSV files
+     * @param census          population by region
+     * @param in              the CDC CSV data
+     * @param showWindows     whether to display each graph in a window as well as writing it as a PNG; this requires a
+     *                        display
+     */
+    private static void visualize(final File outputDirectory, final Map<String, Integer> census, final Reader in,
+                                  final boolean showWindows) throws IOException, CsvException {
+        final List<String[]> allLines;
+        try (final CSVReader csvReader = new CSVReaderBuilder(in).build()) {
+            allLines = csvReader.readAll();
+        }
 
-        final URL data =
-                new URL("https://data.cdc.gov/api/views/xkkf-xrst/rows.csv?accessType=DOWNLOAD&bom=true&format=true%20target=");
-        System.out.println("reading data from " + data);
-        final CSVReader csvReader =
-                new CSVReaderBuilder(new InputStreamReader(CacheUtilities.openCachedURL(data))).build();
-        final List<String[]> allLines = csvReader.readAll();
         final String[] header = allLines.remove(0);
         System.out.println("generating graphs");
         final Stream<Map.Entry<String, List<DataPoint>>> regionLists = splitRegions(header, allLines).parallel();
-        final Map<String, List<DataPoint>> regionData = new HashMap<>();
+        final Map<String, List<DataPoint>> regionData = new ConcurrentHashMap<>();
         regionLists.forEach((e) -> {
             regionData.put(e.getKey(), e.getValue());
             final String region = e.getKey();
-            final ObservedDeathVisualizer app = new ObservedDeathVisualizer(census, region, e.getValue());
-            SwingUtilities.invokeLater(() -> app.setVisible(true));
+            dumpStatistics(census, region, e.getValue());
+            if (showWindows) {
+                final ObservedDeathVisualizer app = new ObservedDeathVisualizer(region, e.getValue());
+                SwingUtilities.invokeLater(() -> app.setVisible(true));
+            }
 
             final int size = 1000;
             final BufferedImage i = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
@@ -632,8 +677,10 @@ public class ObservedDeathVisualizer extends JFrame {
             g.setPaint(Color.WHITE);
             g.fill(imageBounds);
 
-            app.paint(g);
-            final File outputfile = new File((region + ".png").replaceAll("\\s", ""));
+            new Chart(region, e.getValue()).paint(g, new Dimension(size, size));
+            g.dispose();
+
+            final File outputfile = new File(outputDirectory, (region + ".png").replaceAll("\\s", ""));
             try {
                 ImageIO.write(i, "png", outputfile);
             } catch (final IOException ex) {
@@ -641,13 +688,228 @@ public class ObservedDeathVisualizer extends JFrame {
             }
         });
 
-        dumpPerCapitaStatistics(census, regionData);
+        dumpPerCapitaStatistics(outputDirectory, census, regionData);
         System.out.println();
-        dumpExcessDeaths(regionData);
+        dumpExcessDeaths(outputDirectory, regionData);
         System.out.println();
-        dumpExcessDeathsPerCapitaCumulative(census, mergeNYC(regionData));
+        dumpExcessDeathsPerCapitaCumulative(outputDirectory, census, mergeNYC(regionData));
         System.out.println();
         dumpTotalDeathsByYear(regionData);
     }
 
+    // How long a new extract must go untouched before we assume the writer has finished with it. This is longer than
+    // the 10 second interval at which polling WatchService implementations, such as the macOS one, look for changes.
+    private static final Duration watchQuietPeriod = Duration.ofSeconds(15);
+
+    private static boolean isCSV(final Path p) {
+        return p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * A CSV file waiting to settle, with its size and modification time as of when it was last seen to change.
+     *
+     * @param seen     when the file was last seen to change, in {@link System#nanoTime()} terms
+     * @param size     the size of the file at that time
+     * @param modified the modification time of the file at that time
+     */
+    private static record PendingExtract(long seen, long size, FileTime modified) {
+
+        boolean sameFileState(final PendingExtract other) {
+            return size == other.size && modified.equals(other.modified);
+        }
+
+    }
+
+    private static Optional<PendingExtract> pendingExtract(final Path p, final long seen) {
+        try {
+            return Optional.of(new PendingExtract(seen, Files.size(p), Files.getLastModifiedTime(p)));
+        } catch (final IOException e) {
+            // Most likely removed or renamed away before it settled.
+            System.err.printf("ignoring %s: %s\n", p, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void deleteStagingDirectory(final Path staging) {
+        try (final Stream<Path> files = Files.list(staging)) {
+            for (final Path f : files.toList()) {
+                Files.delete(f);
+            }
+
+            Files.delete(staging);
+        } catch (final IOException e) {
+            System.err.printf("unable to remove %s: %s\n", staging, e);
+        }
+    }
+
+    /**
+     * Run the pipeline on an extract, replacing the output in the working directory only if the whole run succeeds.
+     *
+     * @param census population by region
+     * @param p      the CDC CSV data
+     */
+    private static void visualizeFile(final Map<String, Integer> census, final Path p) {
+        System.out.println("reading data from " + p);
+        final long start = System.nanoTime();
+        boolean publishing = false;
+        try {
+            // Staged in the working directory so that the files can be renamed into place.
+            final Path staging = Files.createTempDirectory(Path.of(""), ".odv-");
+            try {
+                try (final Reader in = new InputStreamReader(Files.newInputStream(p))) {
+                    visualize(staging.toFile(), census, in, false);
+                }
+
+                publishing = true;
+                try (final Stream<Path> outputs = Files.list(staging)) {
+                    for (final Path output : outputs.toList()) {
+                        Files.move(output, output.getFileName(), StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+            } finally {
+                deleteStagingDirectory(staging);
+            }
+
+            System.out.printf("processed %s in %d ms\n", p, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (final IOException | CsvException | RuntimeException e) {
+            System.err.printf("failed to process %s after %d ms (%s): %s\n", p,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                    publishing ? "output in the working directory now mixes this run and the previous one" :
+                            "previous output left in place", e);
+        }
+    }
+
+    /**
+     * Watch a directory and rerun the pipeline in this process each time a CDC extract is written into it.
+     * <p>
+     * Keeping the process resident means the census, the JIT and the AWT font and rendering state are all warm for
+     * every run after the first. Each file is only processed once it has gone untouched for {@link #watchQuietPeriod}
+     * and its size and modification time have stopped changing, so that partially written extracts are not read. If
+     * several extracts settle together only the most recently modified one is processed, as each run overwrites the
+     * output of the last.
+     *
+     * @param census    population by region
+     * @param directory the directory to watch for CSV files
+     */
+    private static void watch(final Map<String, Integer> census, final Path directory)
+            throws IOException, InterruptedException {
+        try (final WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            System.out.println("watching " + directory + " for CDC extracts");
+
+            final Map<Path, PendingExtract> pending = new LinkedHashMap<>();
+            FileTime lastRunStarted = FileTime.from(Instant.now());
+            while (true) {
+                final WatchKey key;
+                if (pending.isEmpty()) {
+                    key = watcher.take();
+                } else {
+                    final long earliest =
+                            pending.values().stream().mapToLong(PendingExtract::seen).min().orElseThrow();
+                    final long remaining = earliest + watchQuietPeriod.toNanos() - System.nanoTime();
+                    key = remaining > 0 ? watcher.poll(remaining, TimeUnit.NANOSECONDS) : watcher.poll();
+                }
+
+                if (key != null) {
+                    final long now = System.nanoTime();
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // Events were dropped, so rescan for anything that changed since we last ran.
+                            final List<Path> files;
+                            try (final Stream<Path> s = Files.list(directory)) {
+                                files = s.filter(ObservedDeathVisualizer::isCSV).toList();
+                            }
+
+                            for (final Path p : files) {
+                                final Optional<PendingExtract> e = pendingExtract(p, now);
+                                if (e.isPresent() && (pending.containsKey(p) ||
+                                        e.get().modified().compareTo(lastRunStarted) >= 0)) {
+                                    pending.put(p, e.get());
+                                }
+                            }
+
+                            continue;
+                        }
+
+                        final Path p = directory.resolve((Path) event.context());
+                        if (isCSV(p)) {
+                            pendingExtract(p, now).ifPresent((e) -> pending.put(p, e));
+                        }
+                    }
+
+                    if (!key.reset()) {
+                        throw new IOException("no longer able to watch " + directory);
+                    }
+                }
+
+                final long now = System.nanoTime();
+                final List<Path> quiet = pending.entrySet().stream()
+                        .filter((e) -> now - e.getValue().seen() >= watchQuietPeriod.toNanos()).map(Map.Entry::getKey)
+                        .toList();
+                final Map<Path, PendingExtract> settled = new HashMap<>();
+                for (final Path p : quiet) {
+                    // Events can be late or coalesced, so check that the file itself has stopped changing.
+                    final PendingExtract before = pending.remove(p);
+                    final Optional<PendingExtract> after = pendingExtract(p, now);
+                    if (after.isEmpty()) {
+                        continue;
+                    }
+
+                    if (after.get().sameFileState(before)) {
+                        settled.put(p, after.get());
+                    } else {
+                        pending.put(p, after.get());
+                    }
+                }
+
+                if (!settled.isEmpty()) {
+                    final Path newest = settled.entrySet().stream()
+                            .max(Comparator.comparing((Map.Entry<Path, PendingExtract> e) -> e.getValue().modified()))
+                            .orElseThrow().getKey();
+                    settled.keySet().stream().filter((p) -> !p.equals(newest))
+                            .forEach((p) -> System.out.printf("skipping %s, superseded by %s\n", p, newest));
+                    lastRunStarted = FileTime.from(Instant.now());
+                    visualizeFile(census, newest);
+                }
+            }
+        }
+    }
+
+    private static void exit(final String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+
+    public static void main(final String[] args) throws IOException, CsvException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--watch")) {
+            if (args.length != 2) {
+                exit("usage: ObservedDeathVisualizer [--watch directory]");
+            }
+
+            final Path directory = Path.of(args[1]);
+            if (!Files.isDirectory(directory)) {
+                exit("watch directory " + directory + " is not a directory");
+            }
+
+            // Output is always written to the working directory, so watching it would retrigger on our own CSV files.
+            if (Files.isSameFile(directory, Path.of(""))) {
+                exit("watch directory must not be the working directory");
+            }
+
+            final Map<String, Integer> census = parseCensus();
+            System.err.println("census=" + census);
+            watch(census, directory);
+            return;
+        }
+
+        final Map<String, Integer> census = parseCensus();
+        System.err.println("census=" + census);
+
+        final URL data =
+                new URL("https://data.cdc.gov/api/views/xkkf-xrst/rows.csv?accessType=DOWNLOAD&bom=true&format=true%20target=");
+        System.out.println("reading data from " + data);
+        visualize(new File("."), census, new InputStreamReader(CacheUtilities.openCachedURL(data)), true);
+    }
+
 }